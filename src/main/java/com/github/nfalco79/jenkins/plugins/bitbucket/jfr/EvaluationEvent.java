@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.jfr;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jenkins.scm.api.SCMSource;
+
+/**
+ * Base flight recorder event for the evaluation of a trait or a build
+ * strategy.
+ * <p>
+ * Events are disabled by default, enable them in the JFR settings to record
+ * them. The duration is the time elapsed from {@link #begin()} to
+ * {@link #commit(SCMSource, String, String, int)}.
+ *
+ * @author Nikolas Falco
+ */
+@Category({ "Jenkins", "Bitbucket Trait" })
+@Enabled(false)
+@StackTrace(false)
+public abstract class EvaluationEvent extends Event {
+
+    @Label("Source")
+    String source;
+
+    @Label("Head")
+    String head;
+
+    @Label("Decision")
+    String decision;
+
+    @Label("Branches Inspected")
+    int branchesInspected;
+
+    /**
+     * Fills the event fields and commits it if the event is enabled and
+     * exceeds the configured threshold.
+     *
+     * @param source the source
+     * @param head the head name
+     * @param decision the result of the evaluation
+     * @param branchesInspected number of branches inspected
+     */
+    public void commit(@CheckForNull SCMSource source, @CheckForNull String head, @CheckForNull String decision, int branchesInspected) {
+        if (shouldCommit()) {
+            this.source = getSourceName(source);
+            this.head = head;
+            this.decision = decision;
+            this.branchesInspected = branchesInspected;
+            commit();
+        }
+    }
+
+    @CheckForNull
+    private static String getSourceName(@CheckForNull SCMSource source) {
+        if (source == null) {
+            return null;
+        }
+        if (source instanceof BitbucketSCMSource) {
+            BitbucketSCMSource bbSource = (BitbucketSCMSource) source;
+            return bbSource.getRepoOwner() + "/" + bbSource.getRepository();
+        }
+        return source.getId();
+    }
+
+}
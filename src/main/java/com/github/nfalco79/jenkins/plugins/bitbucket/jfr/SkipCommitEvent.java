@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evaluation of a revision by the skip commit build strategy.
+ *
+ * @author Nikolas Falco
+ */
+@Name("com.github.nfalco79.bitbucket.SkipCommit")
+@Label("Skip Commit")
+@Description("Evaluation of a revision by the skip commit build strategy.")
+public final class SkipCommitEvent extends EvaluationEvent {
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Decoration of a git builder with the pull request target branch ref spec.
+ *
+ * @author Nikolas Falco
+ */
+@Name("com.github.nfalco79.bitbucket.TargetBranchRefSpec")
+@Label("Target Branch Ref Spec")
+@Description("Decoration of a git builder with the pull request target branch ref spec.")
+public final class TargetBranchRefSpecEvent extends EvaluationEvent {
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.strategy;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Keeps the set of paths touched by each commit, so that the same commit
+ * evaluated for many pull requests is diffed only once.
+ *
+ * @author Nikolas Falco
+ */
+final class CommitPathsCache {
+
+    private static final int MAX_ENTRIES = 10000;
+
+    @SuppressWarnings("serial")
+    private static final Map<String, Set<String>> CACHE = Collections.synchronizedMap(new LinkedHashMap<String, Set<String>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    });
+
+    private CommitPathsCache() {
+    }
+
+    /**
+     * Returns if the given commit is an ancestor of (or the same as) the
+     * other commit.
+     *
+     * @param repository the repository that contains both commits
+     * @param ancestor the candidate ancestor commit hash
+     * @param commit the descendant commit hash
+     * @return {@code true} if {@code ancestor} is reachable from {@code commit}
+     * @throws IOException if commits can not be read from the repository
+     */
+    static boolean isAncestor(@NonNull Repository repository, @NonNull String ancestor, @NonNull String commit) throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            return walk.isMergedInto(walk.parseCommit(ObjectId.fromString(ancestor)), walk.parseCommit(ObjectId.fromString(commit)));
+        }
+    }
+
+    /**
+     * Returns all paths touched by the commits reachable from {@code to} but
+     * not from {@code from}, each commit compared with its first parent.
+     * <p>
+     * The result describes the change from {@code from} to {@code to} only
+     * when {@code from} is an ancestor of {@code to}, see
+     * {@link #isAncestor(Repository, String, String)}.
+     *
+     * @param repository the repository that contains both commits
+     * @param from the excluded commit hash
+     * @param to the included commit hash
+     * @return the union of paths changed by the commits in the range
+     * @throws IOException if commits can not be read from the repository
+     */
+    @NonNull
+    static Set<String> getChangedPaths(@NonNull Repository repository, @NonNull String from, @NonNull String to) throws IOException {
+        Set<String> paths = new HashSet<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.markStart(walk.parseCommit(ObjectId.fromString(to)));
+            walk.markUninteresting(walk.parseCommit(ObjectId.fromString(from)));
+            for (RevCommit commit : walk) {
+                paths.addAll(getCommitPaths(repository, commit));
+            }
+        }
+        return paths;
+    }
+
+    private static Set<String> getCommitPaths(Repository repository, RevCommit commit) throws IOException {
+        String key = commit.getName();
+        Set<String> paths = CACHE.get(key);
+        if (paths == null) {
+            paths = new HashSet<>();
+            try (RevWalk walk = new RevWalk(repository); TreeWalk treeWalk = new TreeWalk(repository)) {
+                treeWalk.setRecursive(true);
+                treeWalk.setFilter(TreeFilter.ANY_DIFF);
+                if (commit.getParentCount() > 0) {
+                    treeWalk.addTree(walk.parseCommit(commit.getParent(0)).getTree());
+                } else {
+                    treeWalk.addTree(new EmptyTreeIterator());
+                }
+                treeWalk.addTree(walk.parseCommit(commit).getTree());
+                while (treeWalk.next()) {
+                    paths.add(treeWalk.getPathString());
+                }
+            }
+            paths = Collections.unmodifiableSet(paths);
+            CACHE.put(key, paths);
+        }
+        return paths;
+    }
+
+    /**
+     * Returns if the paths of the given commit are already cached.
+     *
+     * @param commit the commit hash
+     * @return {@code true} if the commit paths are cached
+     */
+    static boolean isCached(@NonNull String commit) {
+        return CACHE.containsKey(commit);
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    static void clear() {
+        CACHE.clear();
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.strategy;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.URIish;
+import org.jenkinsci.plugins.gitclient.GitClient;
+import org.jenkinsci.plugins.gitclient.RepositoryCallback;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.plugins.git.GitException;
+
+/**
+ * Local cache of a remote repository, fetched only when the requested
+ * commits are not yet available.
+ *
+ * @author Nikolas Falco
+ */
+final class RepositoryCache {
+
+    private static final Map<String, Lock> CACHE_LOCKS = new ConcurrentHashMap<>();
+
+    private RepositoryCache() {
+    }
+
+    /**
+     * Runs the given callback on the repository of the given client, fetching
+     * the remote only when some of the given commits are not yet available.
+     *
+     * @param <T> the callback return type
+     * @param client the client working on the cache directory
+     * @param cacheEntry the name of the cache entry, used for locking
+     * @param remotes the ref specs to fetch by remote URL
+     * @param commits the commits that must be available to the callback
+     * @param callback the callback to execute
+     * @return the callback result or {@code null} if the commits are not
+     *         available even after the fetch
+     * @throws IOException in case of git failure
+     * @throws GitException in case the fetch fails
+     * @throws InterruptedException if interrupted
+     */
+    @CheckForNull
+    static <T> T withRepository(@NonNull GitClient client,
+                                @NonNull String cacheEntry,
+                                @NonNull Map<String, List<RefSpec>> remotes,
+                                @NonNull List<String> commits,
+                                @NonNull RepositoryCallback<T> callback) throws IOException, InterruptedException {
+        Lock cacheLock = CACHE_LOCKS.computeIfAbsent(cacheEntry, k -> new ReentrantLock());
+        cacheLock.lock();
+        try {
+            if (!client.hasGitRepo(false)) {
+                client.init();
+            }
+
+            if (!hasCommits(client, commits)) {
+                for (Map.Entry<String, List<RefSpec>> remote : remotes.entrySet()) {
+                    client.fetch_().from(toURI(remote.getKey()), remote.getValue()).execute();
+                }
+                if (!hasCommits(client, commits)) {
+                    return null;
+                }
+            }
+            return client.withRepository(callback);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private static URIish toURI(String remote) throws IOException {
+        try {
+            return new URIish(remote);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid remote URL " + remote, e);
+        }
+    }
+
+    private static boolean hasCommits(GitClient client, List<String> commits) throws IOException, InterruptedException {
+        return client.withRepository((repository, channel) -> {
+            for (String commit : commits) {
+                if (!repository.getObjectDatabase().has(ObjectId.fromString(commit))) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+}
@@ -24,6 +24,8 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMRevision;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMRevision;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.SkipCommitEvent;
+import com.github.nfalco79.jenkins.plugins.bitbucket.util.WildcardUtil;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -82,6 +84,25 @@ public class SkipCommitBuildStrategy extends BranchBuildStrategy {
 
     @Override
     public boolean isAutomaticBuild(SCMSource source, SCMHead head, SCMRevision currRevision, SCMRevision prevRevision) {
+        SkipCommitEvent event = new SkipCommitEvent();
+        event.begin();
+
+        // skip the build when the head commit matches any filter
+        boolean build = !matchesRevision(currRevision);
+
+        event.commit(source, head.getName(), build ? "build" : "skip", 0);
+        return build;
+    }
+
+    /**
+     * Returns if the commit of the given revision matches the message or the
+     * author filter.
+     *
+     * @param currRevision the revision to check
+     * @return {@code true} if the commit matches any filter and so the build
+     *         must be skipped
+     */
+    private boolean matchesRevision(SCMRevision currRevision) {
         SCMRevision revision = currRevision;
 
         if (currRevision instanceof PullRequestSCMRevision) {
@@ -98,10 +119,10 @@ public class SkipCommitBuildStrategy extends BranchBuildStrategy {
         }
 
         if (commitAuthor != null || commitMessage != null) {
-            return !(matches(this.message, commitMessage) || matches(this.author, commitAuthor));
+            return matches(this.message, commitMessage) || matches(this.author, commitAuthor);
         }
 
-        return true;
+        return false;
     }
 
     private boolean matches(@NonNull String pattern, @CheckForNull String value) {
@@ -116,22 +137,7 @@ public class SkipCommitBuildStrategy extends BranchBuildStrategy {
      * @return pattern corresponding to the branches containing wildcards
      */
     protected String getPattern(String wildcardPatterns) {
-        StringBuilder quotedBranches = new StringBuilder();
-        for (String wildcardPattern : wildcardPatterns.split(" ")) {
-            StringBuilder quotedPattern = new StringBuilder();
-            for (String pattern : wildcardPattern.split("(?=[*])|(?<=[*])")) {
-                if (pattern.equals("*")) {
-                    quotedPattern.append(".*");
-                } else if (!pattern.isEmpty()) {
-                    quotedPattern.append(Pattern.quote(pattern));
-                }
-            }
-            if (quotedBranches.length() > 0) {
-                quotedBranches.append("|");
-            }
-            quotedBranches.append(quotedPattern);
-        }
-        return quotedBranches.toString();
+        return WildcardUtil.getPattern(wildcardPatterns);
     }
 
     @Extension
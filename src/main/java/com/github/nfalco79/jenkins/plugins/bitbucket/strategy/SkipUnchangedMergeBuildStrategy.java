@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.strategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jgit.transport.RefSpec;
+import org.jenkinsci.plugins.gitclient.Git;
+import org.jenkinsci.plugins.gitclient.GitClient;
+import org.jenkinsci.plugins.gitclient.JGitTool;
+import org.jenkinsci.plugins.gitclient.RepositoryCallback;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMRevision;
+import com.cloudbees.jenkins.plugins.bitbucket.endpoints.BitbucketCloudEndpoint;
+import com.cloudbees.plugins.credentials.CredentialsMatchers;
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
+import com.cloudbees.plugins.credentials.domains.URIRequirementBuilder;
+import com.github.nfalco79.jenkins.plugins.bitbucket.util.WildcardUtil;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.EnvVars;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.TaskListener;
+import hudson.plugins.git.GitException;
+import hudson.security.ACL;
+import jenkins.branch.BranchBuildStrategy;
+import jenkins.branch.BranchBuildStrategyDescriptor;
+import jenkins.model.Jenkins;
+import jenkins.plugins.git.AbstractGitSCMSource;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMRevision;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.SCMSourceDescriptor;
+import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
+
+/**
+ * This strategy skip the rebuild of a pull request when only its target
+ * branch has moved and the new target commits do not touch any path changed
+ * by the pull request or any of the configured relevant paths.
+ *
+ * @author Nikolas Falco
+ */
+public class SkipUnchangedMergeBuildStrategy extends BranchBuildStrategy {
+
+    /**
+     * The relevant paths filter.
+     */
+    @NonNull
+    private String includes;
+
+    @DataBoundConstructor
+    public SkipUnchangedMergeBuildStrategy(@CheckForNull String includes) {
+        this.includes = StringUtils.defaultIfBlank(includes, "");
+    }
+
+    /**
+     * Returns the wildcard patterns of the paths relevant for the build.
+     *
+     * @return the relevant paths filter.
+     */
+    public String getIncludes() {
+        return includes;
+    }
+
+    @Override
+    public boolean isAutomaticBuild(SCMSource source, SCMHead head, SCMRevision currRevision, SCMRevision prevRevision) {
+        return isAutomaticBuild(source, head, currRevision, prevRevision, null, TaskListener.NULL);
+    }
+
+    @Override
+    public boolean isAutomaticBuild(SCMSource source, SCMHead head, SCMRevision currRevision, SCMRevision lastBuiltRevision, SCMRevision lastSeenRevision, TaskListener listener) {
+        if (!(head instanceof PullRequestSCMHead)
+                || ((PullRequestSCMHead) head).getCheckoutStrategy() != ChangeRequestCheckoutStrategy.MERGE
+                || !(currRevision instanceof PullRequestSCMRevision)
+                || !(lastBuiltRevision instanceof PullRequestSCMRevision)) {
+            // only the merge result depends on the target branch
+            return true;
+        }
+
+        PullRequestSCMRevision<?> currPR = (PullRequestSCMRevision<?>) currRevision;
+        PullRequestSCMRevision<?> lastPR = (PullRequestSCMRevision<?>) lastBuiltRevision;
+        String pull = getHash(currPR.getPull());
+        String newTarget = getHash(currPR.getTarget());
+        String oldTarget = getHash(lastPR.getTarget());
+        if (pull == null || newTarget == null || oldTarget == null
+                || !pull.equals(getHash(lastPR.getPull()))
+                || newTarget.equals(oldTarget)) {
+            // the pull request itself has changed or nothing is changed at all
+            return true;
+        }
+
+        Pattern relevantPaths = includes.isEmpty() ? null : Pattern.compile(WildcardUtil.getPattern(includes));
+        try {
+            Boolean relevant = withRepository(source, (PullRequestSCMHead) head, listener, Arrays.asList(oldTarget, newTarget, pull), (repository, channel) -> {
+                if (!CommitPathsCache.isAncestor(repository, oldTarget, newTarget)) {
+                    // target branch has been rewound or force pushed
+                    return true;
+                }
+                Set<String> targetPaths = CommitPathsCache.getChangedPaths(repository, oldTarget, newTarget);
+                Set<String> pullPaths = CommitPathsCache.getChangedPaths(repository, oldTarget, pull);
+                for (String path : targetPaths) {
+                    if (pullPaths.contains(path) || (relevantPaths != null && relevantPaths.matcher(path).matches())) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+            if (relevant == null) {
+                listener.getLogger().println("Unable to fetch commits of " + head.getName() + ", target branch changes can not be compared");
+                return true;
+            }
+            if (!relevant) {
+                listener.getLogger().println("Skip build of " + head.getName() + ", target branch changes do not affect the merge result");
+            }
+            return relevant;
+        } catch (IOException | GitException e) {
+            e.printStackTrace(listener.error("Unable to compare changes of the target branch for " + head.getName()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Runs the given callback on a local cache of the target repository,
+     * fetching the target branch and the pull request branch only when some
+     * of the given commits are not yet available.
+     *
+     * @param <T> the callback return type
+     * @param source the source of the head
+     * @param head the pull request head
+     * @param listener the listener to report progress
+     * @param commits the commits that must be available to the callback
+     * @param callback the callback to execute
+     * @return the callback result or {@code null} if the commits are not
+     *         available
+     * @throws IOException in case of git failure
+     * @throws InterruptedException if interrupted
+     */
+    @CheckForNull
+    protected <T> T withRepository(@NonNull SCMSource source,
+                                   @NonNull PullRequestSCMHead head,
+                                   @NonNull TaskListener listener,
+                                   @NonNull List<String> commits,
+                                   @NonNull RepositoryCallback<T> callback) throws IOException, InterruptedException {
+        if (!(source instanceof BitbucketSCMSource)) {
+            throw new IOException("Unsupported source " + source.getClass().getName());
+        }
+        BitbucketSCMSource bbSource = (BitbucketSCMSource) source;
+        String remote = getRemoteUrl(bbSource.getServerUrl(), bbSource.getRepoOwner(), bbSource.getRepository());
+
+        String cacheEntry = "bitbucket-trait-" + Util.getDigestOf(remote);
+        File cacheDir = new File(new File(Jenkins.get().getRootDir(), "caches"), cacheEntry);
+        GitClient client = Git.with(listener, new EnvVars(EnvVars.masterEnvVars)) //
+                .in(cacheDir) //
+                .using(JGitTool.MAGIC_EXENAME) //
+                .getClient();
+
+        String credentialsId = bbSource.getCredentialsId();
+        if (credentialsId != null) {
+            StandardUsernameCredentials credentials = CredentialsMatchers.firstOrNull(
+                    CredentialsProvider.lookupCredentialsInItem(StandardUsernameCredentials.class, source.getOwner(), ACL.SYSTEM2,
+                            URIRequirementBuilder.fromUri(remote).build()),
+                    CredentialsMatchers.withId(credentialsId));
+            if (credentials != null) {
+                client.addDefaultCredentials(credentials);
+            }
+        }
+
+        Map<String, List<RefSpec>> remotes = getRemotes(bbSource.getServerUrl(), bbSource.getRepoOwner(), bbSource.getRepository(), head);
+        return RepositoryCache.withRepository(client, cacheEntry, remotes, commits, callback);
+    }
+
+    /**
+     * Returns the remotes to fetch with their ref specs, the target branch
+     * from the target repository and the pull request branch from its
+     * repository, that could be a fork.
+     *
+     * @param serverUrl the Bitbucket server URL
+     * @param repoOwner the owner of the target repository
+     * @param repository the target repository
+     * @param head the pull request head
+     * @return the ref specs to fetch by remote URL
+     */
+    @NonNull
+    static Map<String, List<RefSpec>> getRemotes(@NonNull String serverUrl,
+                                                 @NonNull String repoOwner,
+                                                 @NonNull String repository,
+                                                 @NonNull PullRequestSCMHead head) {
+        Map<String, List<RefSpec>> remotes = new LinkedHashMap<>();
+        remotes.computeIfAbsent(getRemoteUrl(serverUrl, repoOwner, repository), k -> new ArrayList<>()) //
+                .add(getRefSpec(repoOwner, repository, head.getTarget().getName()));
+        remotes.computeIfAbsent(getRemoteUrl(serverUrl, head.getRepoOwner(), head.getRepository()), k -> new ArrayList<>()) //
+                .add(getRefSpec(head.getRepoOwner(), head.getRepository(), head.getBranchName()));
+        return remotes;
+    }
+
+    private static RefSpec getRefSpec(String repoOwner, String repository, String branch) {
+        return new RefSpec("+refs/heads/" + branch + ":refs/remotes/" + repoOwner + "/" + repository + "/" + branch);
+    }
+
+    /**
+     * Returns the HTTP clone URL of a Bitbucket repository.
+     *
+     * @param serverUrl the Bitbucket server URL
+     * @param repoOwner the repository owner or project key
+     * @param repository the repository slug
+     * @return the clone URL
+     */
+    @NonNull
+    static String getRemoteUrl(@NonNull String serverUrl, @NonNull String repoOwner, @NonNull String repository) {
+        String url = StringUtils.removeEnd(serverUrl, "/");
+        if (BitbucketCloudEndpoint.SERVER_URL.equals(url)) {
+            return url + "/" + repoOwner + "/" + repository + ".git";
+        }
+        return url + "/scm/" + repoOwner + "/" + repository + ".git";
+    }
+
+    @CheckForNull
+    private String getHash(@CheckForNull SCMRevision revision) {
+        if (revision instanceof AbstractGitSCMSource.SCMRevisionImpl) {
+            return ((AbstractGitSCMSource.SCMRevisionImpl) revision).getHash();
+        }
+        return null;
+    }
+
+    @Extension
+    public static class DescriptorImpl extends BranchBuildStrategyDescriptor {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getDisplayName() {
+            return Messages.SkipUnchangedMergeBuildStrategy_displayName();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isApplicable(SCMSourceDescriptor sourceDescriptor) {
+            return sourceDescriptor instanceof BitbucketSCMSource.DescriptorImpl;
+        }
+
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.trait;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMBuilder;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.github.nfalco79.jenkins.plugins.bitbucket.util.WildcardUtil;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.plugins.git.GitSCM;
+import hudson.scm.SCMDescriptor;
+import hudson.util.FormValidation;
+import jenkins.plugins.git.AbstractGitSCMSource;
+import jenkins.plugins.git.GitSCMBuilder;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.trait.SCMBuilder;
+import jenkins.scm.api.trait.SCMHeadFilter;
+import jenkins.scm.api.trait.SCMSourceContext;
+import jenkins.scm.api.trait.SCMSourceRequest;
+import jenkins.scm.api.trait.SCMSourceTrait;
+import jenkins.scm.api.trait.SCMSourceTraitDescriptor;
+
+/**
+ * Exposes a configurable set of branches as ref specs of a
+ * {@link AbstractGitSCMSource} as a {@link SCMSourceTrait}, so that they are
+ * fetched together with the built head.
+ * <p>
+ * Branch names without wildcards are added as is. Each pattern with
+ * wildcards is resolved, while the source is indexed, against the branches
+ * of the repository to the matching branch with the highest version in its
+ * name. Builds use the branches resolved by the last indexing.
+ *
+ * @since 1.1.2
+ */
+public class BranchesRefSpecTrait extends SCMSourceTrait {
+
+    private static final Logger LOGGER = Logger.getLogger(BranchesRefSpecTrait.class.getName());
+
+    private static final Pattern VERSION_TOKEN = Pattern.compile("\\d+|\\D+");
+
+    /**
+     * Compares names token by token, numeric tokens by their value, so that
+     * {@code release/1.10} follows {@code release/1.9}.
+     */
+    static final Comparator<String> VERSION_ORDER = (name1, name2) -> {
+        Matcher m1 = VERSION_TOKEN.matcher(name1);
+        Matcher m2 = VERSION_TOKEN.matcher(name2);
+        while (true) {
+            boolean found1 = m1.find();
+            boolean found2 = m2.find();
+            if (!found1 || !found2) {
+                return Boolean.compare(found1, found2);
+            }
+            String token1 = m1.group();
+            String token2 = m2.group();
+            int result;
+            if (Character.isDigit(token1.charAt(0)) && Character.isDigit(token2.charAt(0))) {
+                result = new BigInteger(token1).compareTo(new BigInteger(token2));
+            } else {
+                result = token1.compareTo(token2);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+    };
+
+    /**
+     * The branch patterns.
+     */
+    @NonNull
+    private final String branches;
+
+    /**
+     * Constructor for stapler.
+     *
+     * @param branches space separated list of branch patterns
+     */
+    @DataBoundConstructor
+    public BranchesRefSpecTrait(@CheckForNull String branches) {
+        this.branches = StringUtils.defaultIfBlank(branches, "").trim();
+    }
+
+    /**
+     * Returns the branch patterns to add as ref specs.
+     *
+     * @return the space separated branch patterns.
+     */
+    @NonNull
+    public String getBranches() {
+        return branches;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void decorateContext(SCMSourceContext<?, ?> context) {
+        if (branches.contains("*")) {
+            context.withFilter(new ResolveBranchesFilter(branches));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void decorateBuilder(SCMBuilder<?, ?> builder) {
+        if (builder instanceof GitSCMBuilder) {
+            GitSCMBuilder<?> gitBuilder = (GitSCMBuilder<?>) builder;
+            String sourceId = builder instanceof BitbucketGitSCMBuilder ? ((BitbucketGitSCMBuilder) builder).scmSource().getId() : null;
+            for (String pattern : branches.split(" ")) {
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+                String branchName = pattern;
+                if (pattern.contains("*")) {
+                    branchName = sourceId != null ? ResolvedBranchesCache.get(sourceId, pattern) : null;
+                    if (branchName == null) {
+                        LOGGER.log(Level.WARNING, "Branch pattern {0} does not match any branch of the last indexing of the source", pattern);
+                        continue;
+                    }
+                }
+                String refSpec = "+refs/heads/" + branchName + ":refs/remotes/@{remote}/" + branchName;
+                if (!gitBuilder.refSpecs().contains(refSpec)) {
+                    gitBuilder.withRefSpec(refSpec);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves each pattern with wildcards to the matching branch with the
+     * highest version, if any.
+     *
+     * @param patterns space separated list of branch patterns
+     * @param branches the known branches
+     * @return the names of the resolved branches by pattern
+     */
+    @NonNull
+    static Map<String, String> resolve(@NonNull String patterns, @NonNull Iterable<? extends BitbucketBranch> branches) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String wildcardPattern : patterns.split(" ")) {
+            if (!wildcardPattern.contains("*")) {
+                continue;
+            }
+            Pattern pattern = Pattern.compile(WildcardUtil.getPattern(wildcardPattern));
+            String latest = null;
+            for (BitbucketBranch branch : branches) {
+                String name = branch.getName();
+                if (pattern.matcher(name).matches() && (latest == null || VERSION_ORDER.compare(name, latest) > 0)) {
+                    latest = name;
+                }
+            }
+            if (latest != null) {
+                result.put(wildcardPattern, latest);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Resolves the wildcard patterns against the branches retrieved by the
+     * indexing request and keeps the result for the following builds. It
+     * never excludes any head.
+     */
+    private static final class ResolveBranchesFilter extends SCMHeadFilter {
+        private final String patterns;
+
+        private ResolveBranchesFilter(String patterns) {
+            this.patterns = patterns;
+        }
+
+        @Override
+        public boolean isExcluded(SCMSourceRequest request, SCMHead head) throws IOException, InterruptedException {
+            if (request instanceof BitbucketSCMSourceRequest && ((BitbucketSCMSourceRequest) request).isFetchBranches()) {
+                ResolvedBranchesCache.put(request.source().getId(), resolve(patterns, ((BitbucketSCMSourceRequest) request).getBranches()));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Our descriptor.
+     */
+    @Symbol("bitbucketBranchesRefSpec")
+    @Extension
+    public static class DescriptorImpl extends SCMSourceTraitDescriptor {
+
+        /**
+         * Verifies that each pattern, with wildcards replaced, is a valid
+         * branch name.
+         *
+         * @param branches space separated list of branch patterns
+         * @return the validation result
+         */
+        public FormValidation doCheckBranches(@QueryParameter final String branches) {
+            for (String pattern : StringUtils.defaultString(branches).split(" ")) {
+                if (!pattern.isEmpty() && !Repository.isValidRefName(Constants.R_HEADS + pattern.replace('*', 'x'))) {
+                    return FormValidation.error(Messages.BranchesRefSpecTrait_invalidBranchPattern(pattern));
+                }
+            }
+            return FormValidation.ok();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.BranchesRefSpecTrait_displayName();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Class<? extends SCMSourceContext> getContextClass() {
+            return BitbucketSCMSourceContext.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Class<? extends SCMSource> getSourceClass() {
+            return BitbucketSCMSource.class;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isApplicableToBuilder(@NonNull Class<? extends SCMBuilder> builderClass) {
+            return BitbucketGitSCMBuilder.class.isAssignableFrom(builderClass);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isApplicableToSCM(@NonNull SCMDescriptor<?> scm) {
+            return scm instanceof GitSCM.DescriptorImpl;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMBuilder;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.ExcludeOldBranchEvent;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -62,6 +63,11 @@ public class DiscardOldBranchTrait extends SCMSourceTrait {
     public final class ExcludeOldSCMHeadBranch extends SCMHeadFilter {
         @Override
         public boolean isExcluded(SCMSourceRequest request, SCMHead head) throws IOException, InterruptedException {
+            ExcludeOldBranchEvent event = new ExcludeOldBranchEvent();
+            event.begin();
+
+            boolean excluded = false;
+            int inspected = 0;
             if (keepForDays > 0) {
                 BitbucketSCMSourceRequest bbRequest = (BitbucketSCMSourceRequest) request;
                 String branchName = head.getName();
@@ -71,6 +77,7 @@ public class DiscardOldBranchTrait extends SCMSourceTrait {
                 }
 
                 for (BitbucketBranch branch : bbRequest.getBranches()) {
+                    inspected++;
                     if (branch.getName().equals(branchName)) {
                         Calendar c = Calendar.getInstance();
 
@@ -81,11 +88,14 @@ public class DiscardOldBranchTrait extends SCMSourceTrait {
                         c.set(Calendar.MILLISECOND, 0);
                         c.add(Calendar.DAY_OF_YEAR, keepForDays);
                         Date expiryDate = c.getTime();
-                        return expiryDate.before(new Date());
+                        excluded = expiryDate.before(new Date());
+                        break;
                     }
                 }
             }
-            return false;
+
+            event.commit(request.source(), head.getName(), excluded ? "excluded" : "included", inspected);
+            return excluded;
         }
     }
 
@@ -23,6 +23,7 @@ import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMBuilder;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
 import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.TargetBranchRefSpecEvent;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
@@ -58,14 +59,21 @@ public class PullRequestTargetBranchTrait extends SCMSourceTrait {
      */
     @Override
     protected void decorateBuilder(SCMBuilder<?, ?> builder) {
+        TargetBranchRefSpecEvent event = new TargetBranchRefSpecEvent();
+        event.begin();
+
+        String targetBranch = null;
         if (builder instanceof GitSCMBuilder) {
             GitSCMBuilder<?> gitBuilder = (GitSCMBuilder<?>) builder;
             SCMHead head = builder.head();
             if (head instanceof PullRequestSCMHead) {
-                String targetBranch = ((PullRequestSCMHead) head).getTarget().getName();
+                targetBranch = ((PullRequestSCMHead) head).getTarget().getName();
                 gitBuilder.withRefSpec("+refs/heads/" + targetBranch + ":refs/remotes/@{remote}/" + targetBranch);
             }
         }
+
+        SCMSource source = builder instanceof BitbucketGitSCMBuilder ? ((BitbucketGitSCMBuilder) builder).scmSource() : null;
+        event.commit(source, builder.head().getName(), targetBranch != null ? "added" : "none", targetBranch != null ? 1 : 0);
     }
 
     /**
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.trait;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.XmlFile;
+import jenkins.model.Jenkins;
+
+/**
+ * Keeps, for each source, the branch each wildcard pattern has been resolved
+ * to during the last indexing, so that builds do not have to list the
+ * branches of the repository again.
+ * <p>
+ * Entries are saved under {@code JENKINS_HOME/caches} to survive a restart.
+ *
+ * @author Nikolas Falco
+ */
+final class ResolvedBranchesCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ResolvedBranchesCache.class.getName());
+
+    private static Map<String, Map<String, String>> cache;
+
+    private ResolvedBranchesCache() {
+    }
+
+    /**
+     * Returns the branch a pattern has been resolved to for the given source.
+     *
+     * @param sourceId the source identifier
+     * @param pattern the wildcard pattern
+     * @return the resolved branch name or {@code null} if the pattern has not
+     *         been resolved yet or matches no branch
+     */
+    @CheckForNull
+    static synchronized String get(@NonNull String sourceId, @NonNull String pattern) {
+        return getCache().getOrDefault(sourceId, Collections.emptyMap()).get(pattern);
+    }
+
+    /**
+     * Replaces the patterns resolved for the given source.
+     *
+     * @param sourceId the source identifier
+     * @param resolved the branch names by pattern
+     */
+    static synchronized void put(@NonNull String sourceId, @NonNull Map<String, String> resolved) {
+        Map<String, Map<String, String>> entries = getCache();
+        if (!resolved.equals(entries.get(sourceId))) {
+            entries.put(sourceId, new HashMap<>(resolved));
+            save();
+        }
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    static synchronized void clear() {
+        cache = new HashMap<>();
+        save();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, String>> getCache() {
+        if (cache == null) {
+            cache = new HashMap<>();
+            XmlFile file = getFile();
+            if (file != null && file.exists()) {
+                try {
+                    cache.putAll((Map<String, Map<String, String>>) file.read());
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Unable to read resolved branches from " + file, e);
+                }
+            }
+        }
+        return cache;
+    }
+
+    private static void save() {
+        XmlFile file = getFile();
+        if (file != null) {
+            try {
+                file.write(cache);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to save resolved branches to " + file, e);
+            }
+        }
+    }
+
+    @CheckForNull
+    private static XmlFile getFile() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null) {
+            return null;
+        }
+        return new XmlFile(Jenkins.XSTREAM2, new File(new File(jenkins.getRootDir(), "caches"), "bitbucket-trait-branches.xml"));
+    }
+
+}
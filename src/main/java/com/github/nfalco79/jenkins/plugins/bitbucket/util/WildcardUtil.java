@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.util;
+
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Utility to convert the wildcard patterns used in the configuration into
+ * regular expressions.
+ *
+ * @author Nikolas Falco
+ */
+public final class WildcardUtil {
+
+    private WildcardUtil() {
+    }
+
+    /**
+     * Returns the pattern corresponding to the given space separated list of
+     * names containing wildcards.
+     *
+     * @param wildcardPatterns the names wildcards to create a pattern for
+     * @return pattern corresponding to the names containing wildcards
+     */
+    @NonNull
+    public static String getPattern(@NonNull String wildcardPatterns) {
+        StringBuilder quotedPatterns = new StringBuilder();
+        for (String wildcardPattern : wildcardPatterns.split(" ")) {
+            StringBuilder quotedPattern = new StringBuilder();
+            for (String pattern : wildcardPattern.split("(?=[*])|(?<=[*])")) {
+                if (pattern.equals("*")) {
+                    quotedPattern.append(".*");
+                } else if (!pattern.isEmpty()) {
+                    quotedPattern.append(Pattern.quote(pattern));
+                }
+            }
+            if (quotedPatterns.length() > 0) {
+                quotedPatterns.append("|");
+            }
+            quotedPatterns.append(quotedPattern);
+        }
+        return quotedPatterns.toString();
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the flight recorder events emitted by an action in tests.
+ *
+ * @author Nikolas Falco
+ */
+public final class FlightRecorderUtil {
+
+    /**
+     * An action that could fail.
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private FlightRecorderUtil() {
+    }
+
+    /**
+     * Runs the action in a recording and returns the events of the given
+     * type it has emitted.
+     *
+     * @param eventType the type of events to return
+     * @param enabled if enable the event type in the recording, otherwise
+     *        the event default settings apply
+     * @param action the action to record
+     * @return the recorded events of the given type
+     * @throws Exception if the action or the recording fails
+     */
+    public static List<RecordedEvent> record(Class<? extends Event> eventType, boolean enabled, Action action) throws Exception {
+        String eventName = EventType.getEventType(eventType).getName();
+        Path file = Files.createTempFile("recording", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                if (enabled) {
+                    recording.enable(eventType).withoutThreshold();
+                }
+                recording.start();
+                action.run();
+                recording.stop();
+                recording.dump(file);
+            }
+            return RecordingFile.readAllEvents(file).stream() //
+                    .filter(e -> eventName.equals(e.getEventType().getName())) //
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.transport.RefSpec;
+import org.jenkinsci.plugins.gitclient.TestJGitAPIImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
+
+import hudson.model.TaskListener;
+
+public class RepositoryCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String serverUrl;
+    private File upstreamDir;
+    private File forkDir;
+    private Git work;
+    private PullRequestSCMHead head;
+
+    @Before
+    public void setup() throws Exception {
+        // same layout of the clone URLs of a Bitbucket Server
+        File serverDir = folder.newFolder("server");
+        serverUrl = serverDir.toURI().toString();
+        upstreamDir = new File(serverDir, "scm/AMUNIZ/test-repos.git");
+        forkDir = new File(serverDir, "scm/nfalco/test-repos.git");
+        Git.init().setBare(true).setDirectory(upstreamDir).call().close();
+        Git.init().setBare(true).setDirectory(forkDir).call().close();
+        work = Git.cloneRepository().setURI(upstreamDir.toURI().toString()).setDirectory(folder.newFolder("work")).call();
+
+        head = mock(PullRequestSCMHead.class);
+        when(head.getTarget()).thenReturn(new BranchSCMHead("master"));
+        when(head.getBranchName()).thenReturn("feature/xyz");
+        when(head.getRepoOwner()).thenReturn("AMUNIZ");
+        when(head.getRepository()).thenReturn("test-repos");
+    }
+
+    @After
+    public void tearDown() {
+        CommitPathsCache.clear();
+        work.close();
+    }
+
+    @Test
+    public void fetch_remote_when_commits_are_missing() throws Exception {
+        RevCommit base = commit("pom.xml");
+        RevCommit target = commit("docs/index.md");
+        push(upstreamDir, "master");
+
+        File cacheDir = folder.newFolder("cache");
+        Set<String> paths = RepositoryCache.withRepository(new TestJGitAPIImpl(cacheDir, TaskListener.NULL), cacheDir.getName(), getRemotes(), //
+                Arrays.asList(base.getName(), target.getName()), //
+                (repository, channel) -> CommitPathsCache.getChangedPaths(repository, base.getName(), target.getName()));
+
+        assertThat(paths).containsOnly("docs/index.md");
+    }
+
+    @Test
+    public void fetch_target_and_pull_request_branches_from_their_repositories() throws Exception {
+        when(head.getRepoOwner()).thenReturn("nfalco");
+
+        RevCommit base = commit("pom.xml");
+        work.checkout().setCreateBranch(true).setName("feature/xyz").call();
+        RevCommit pull = commit("src/main/App.java");
+        push(forkDir, "feature/xyz");
+        work.checkout().setName("master").call();
+        RevCommit target = commit("docs/index.md");
+        push(upstreamDir, "master");
+
+        File cacheDir = folder.newFolder("cache");
+        Set<String> paths = RepositoryCache.withRepository(new TestJGitAPIImpl(cacheDir, TaskListener.NULL), cacheDir.getName(), getRemotes(), //
+                Arrays.asList(base.getName(), target.getName(), pull.getName()), //
+                (repository, channel) -> CommitPathsCache.getChangedPaths(repository, base.getName(), pull.getName()));
+
+        assertThat(paths).containsOnly("src/main/App.java");
+    }
+
+    @Test
+    public void do_not_fetch_when_commits_are_available() throws Exception {
+        RevCommit base = commit("pom.xml");
+        RevCommit target = commit("docs/index.md");
+        push(upstreamDir, "master");
+
+        File cacheDir = folder.newFolder("cache");
+        List<String> commits = Arrays.asList(base.getName(), target.getName());
+        RepositoryCache.withRepository(new TestJGitAPIImpl(cacheDir, TaskListener.NULL), cacheDir.getName(), getRemotes(), commits, (repository, channel) -> true);
+
+        // a fetch would fail now that the remote is gone
+        FileUtils.deleteDirectory(upstreamDir);
+        Boolean result = RepositoryCache.withRepository(new TestJGitAPIImpl(cacheDir, TaskListener.NULL), cacheDir.getName(), getRemotes(), commits, (repository, channel) -> true);
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void return_null_when_commits_are_missing_after_fetch() throws Exception {
+        RevCommit base = commit("pom.xml");
+        push(upstreamDir, "master");
+        RevCommit unpushed = commit("docs/index.md");
+
+        File cacheDir = folder.newFolder("cache");
+        Boolean result = RepositoryCache.withRepository(new TestJGitAPIImpl(cacheDir, TaskListener.NULL), cacheDir.getName(), getRemotes(), //
+                Arrays.asList(base.getName(), unpushed.getName()), (repository, channel) -> true);
+        assertThat(result).isNull();
+    }
+
+    private Map<String, List<RefSpec>> getRemotes() {
+        return SkipUnchangedMergeBuildStrategy.getRemotes(serverUrl, "AMUNIZ", "test-repos", head);
+    }
+
+    private void push(File remoteDir, String branch) throws Exception {
+        work.push().setRemote(remoteDir.toURI().toString()).add(branch).call();
+    }
+
+    private RevCommit commit(String path) throws Exception {
+        File file = new File(work.getRepository().getWorkTree(), path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), String.valueOf(System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+        work.add().addFilepattern(".").call();
+        return work.commit().setMessage("update " + path).call();
+    }
+
+}
@@ -20,16 +20,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.junit.Test;
 
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMRevision;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
 import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudAuthor;
 import com.cloudbees.jenkins.plugins.bitbucket.client.branch.BitbucketCloudCommit;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.FlightRecorderUtil;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.SkipCommitEvent;
 
+import jdk.jfr.consumer.RecordedEvent;
 import jenkins.scm.api.SCMHead;
 
 public class SkipCommitBuildStrategyTest {
+
     @Test
     public void skip_build_event_if_author_pattern_matches() throws Exception {
         SkipCommitBuildStrategy strategy = new SkipCommitBuildStrategy(null, "*@acme.com*");
@@ -74,6 +80,37 @@ public class SkipCommitBuildStrategyTest {
         assertThat(strategy.isAutomaticBuild(source, head, buildRevision(head), null)).isEqualTo(true);
     }
 
+    @Test
+    public void flight_recorder_event_is_emitted_when_enabled() throws Exception {
+        SkipCommitBuildStrategy strategy = new SkipCommitBuildStrategy("initial*", null);
+
+        SCMHead head = mock(SCMHead.class);
+        when(head.getName()).thenReturn("feature/release");
+
+        BitbucketSCMSource source = new BitbucketSCMSource("amuniz", "test-repos");
+        List<RecordedEvent> events = FlightRecorderUtil.record(SkipCommitEvent.class, true, () -> strategy.isAutomaticBuild(source, head, buildRevision(head), null));
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("source")).isEqualTo("amuniz/test-repos");
+        assertThat(event.getString("head")).isEqualTo("feature/release");
+        assertThat(event.getString("decision")).isEqualTo("skip");
+        assertThat(event.getInt("branchesInspected")).isEqualTo(0);
+    }
+
+    @Test
+    public void flight_recorder_event_is_not_emitted_by_default() throws Exception {
+        SkipCommitBuildStrategy strategy = new SkipCommitBuildStrategy("initial*", null);
+
+        SCMHead head = mock(SCMHead.class);
+        when(head.getName()).thenReturn("feature/release");
+
+        BitbucketSCMSource source = new BitbucketSCMSource("amuniz", "test-repos");
+        List<RecordedEvent> events = FlightRecorderUtil.record(SkipCommitEvent.class, false, () -> strategy.isAutomaticBuild(source, head, buildRevision(head), null));
+
+        assertThat(events).isEmpty();
+    }
+
     private BitbucketGitSCMRevision buildRevision(SCMHead head) {
         BitbucketCloudAuthor author = new BitbucketCloudAuthor();
         author.setRaw("builder <no-reply@acme.com>");
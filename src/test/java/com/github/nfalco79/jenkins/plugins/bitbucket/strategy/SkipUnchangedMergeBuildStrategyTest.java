@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.transport.RefSpec;
+import org.jenkinsci.plugins.gitclient.RepositoryCallback;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMRevision;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMRevision;
+
+import hudson.model.TaskListener;
+import hudson.plugins.git.GitException;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMSource;
+import jenkins.scm.api.mixin.ChangeRequestCheckoutStrategy;
+
+public class SkipUnchangedMergeBuildStrategyTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Git git;
+    private BitbucketSCMSource source;
+    private PullRequestSCMHead head;
+    private RevCommit base;
+    private RevCommit pull;
+
+    @Before
+    public void setup() throws Exception {
+        git = Git.init().setDirectory(folder.newFolder("repo")).call();
+        source = new BitbucketSCMSource("amuniz", "test-repos");
+        head = mock(PullRequestSCMHead.class);
+        when(head.getName()).thenReturn("PR-1");
+        when(head.getCheckoutStrategy()).thenReturn(ChangeRequestCheckoutStrategy.MERGE);
+
+        base = commit("src/main/App.java", "pom.xml", "docs/index.md");
+        git.checkout().setCreateBranch(true).setName("feature/xyz").call();
+        pull = commit("src/main/App.java");
+        git.checkout().setName("master").call();
+    }
+
+    @After
+    public void tearDown() {
+        CommitPathsCache.clear();
+        git.close();
+    }
+
+    @Test
+    public void build_if_target_changes_unrelated_paths_but_relevant() throws Exception {
+        RevCommit target = commit("pom.xml");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("*.xml");
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void build_if_target_changes_same_paths_of_pull_request() throws Exception {
+        RevCommit target = commit("src/main/App.java");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy(null);
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void skip_build_if_target_changes_unrelated_paths() throws Exception {
+        commit("docs/index.md");
+        RevCommit target = commit("docs/changes.md");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("src/* pom.xml");
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isFalse();
+    }
+
+    @Test
+    public void build_if_target_is_rewound() throws Exception {
+        RevCommit target = commit("docs/changes.md");
+        RevCommit oldTarget = commit("docs/index.md");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("src/* pom.xml");
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(oldTarget, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void build_if_pull_request_checkout_head() throws Exception {
+        when(head.getCheckoutStrategy()).thenReturn(ChangeRequestCheckoutStrategy.HEAD);
+        RevCommit target = commit("docs/changes.md");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("src/* pom.xml");
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void build_if_commits_are_not_available() throws Exception {
+        RevCommit target = commit("docs/changes.md");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("src/* pom.xml") {
+            @Override
+            protected <T> T withRepository(SCMSource source, PullRequestSCMHead head, TaskListener listener, List<String> commits, RepositoryCallback<T> callback) {
+                return null;
+            }
+        };
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void build_if_fetch_fails() throws Exception {
+        RevCommit target = commit("docs/changes.md");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("src/* pom.xml") {
+            @Override
+            protected <T> T withRepository(SCMSource source, PullRequestSCMHead head, TaskListener listener, List<String> commits, RepositoryCallback<T> callback) {
+                throw new GitException("Authentication failed");
+            }
+        };
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void fetch_target_and_pull_request_branches() {
+        when(head.getTarget()).thenReturn(new BranchSCMHead("master"));
+        when(head.getBranchName()).thenReturn("feature/xyz");
+        when(head.getRepoOwner()).thenReturn("amuniz");
+        when(head.getRepository()).thenReturn("test-repos");
+
+        assertThat(SkipUnchangedMergeBuildStrategy.getRemotes("https://bitbucket.org", "amuniz", "test-repos", head)) //
+                .containsOnly(entry("https://bitbucket.org/amuniz/test-repos.git", //
+                        Arrays.asList(new RefSpec("+refs/heads/master:refs/remotes/amuniz/test-repos/master"), //
+                                new RefSpec("+refs/heads/feature/xyz:refs/remotes/amuniz/test-repos/feature/xyz"))));
+    }
+
+    @Test
+    public void fetch_pull_request_branch_from_fork() {
+        when(head.getTarget()).thenReturn(new BranchSCMHead("master"));
+        when(head.getBranchName()).thenReturn("feature/xyz");
+        when(head.getRepoOwner()).thenReturn("~nfalco");
+        when(head.getRepository()).thenReturn("test-repos");
+
+        assertThat(SkipUnchangedMergeBuildStrategy.getRemotes("https://bitbucket.acme.com/", "AMUNIZ", "test-repos", head)) //
+                .containsOnly(entry("https://bitbucket.acme.com/scm/AMUNIZ/test-repos.git", //
+                        Arrays.asList(new RefSpec("+refs/heads/master:refs/remotes/AMUNIZ/test-repos/master"))), //
+                        entry("https://bitbucket.acme.com/scm/~nfalco/test-repos.git", //
+                        Arrays.asList(new RefSpec("+refs/heads/feature/xyz:refs/remotes/~nfalco/test-repos/feature/xyz"))));
+    }
+
+    @Test
+    public void changed_paths_are_cached_per_commit() throws Exception {
+        RevCommit target = commit("docs/changes.md");
+        assertThat(CommitPathsCache.isCached(target.getName())).isFalse();
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy("src/* pom.xml");
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, pull), revision(base, pull), null, TaskListener.NULL)).isFalse();
+        assertThat(CommitPathsCache.isCached(target.getName())).isTrue();
+        assertThat(CommitPathsCache.isCached(pull.getName())).isTrue();
+
+        // an other pull request evaluated against the same target push finds the target paths already cached
+        git.checkout().setCreateBranch(true).setName("feature/abc").setStartPoint(base).call();
+        RevCommit otherPull = commit("pom.xml");
+        git.checkout().setName("master").call();
+        assertThat(strategy.isAutomaticBuild(source, head, revision(target, otherPull), revision(base, otherPull), null, TaskListener.NULL)).isFalse();
+        assertThat(CommitPathsCache.getChangedPaths(git.getRepository(), base.getName(), target.getName())).containsOnly("docs/changes.md");
+    }
+
+    @Test
+    public void build_if_pull_request_changes() throws Exception {
+        git.checkout().setName("feature/xyz").call();
+        RevCommit newPull = commit("docs/index.md");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy(null);
+        assertThat(strategy.isAutomaticBuild(source, head, revision(base, newPull), revision(base, pull), null, TaskListener.NULL)).isTrue();
+    }
+
+    @Test
+    public void build_if_not_a_pull_request() throws Exception {
+        SCMHead branch = new BranchSCMHead("master");
+
+        SkipUnchangedMergeBuildStrategy strategy = new LocalStrategy(null);
+        assertThat(strategy.isAutomaticBuild(source, branch, revision(base), revision(base), null, TaskListener.NULL)).isTrue();
+    }
+
+    private PullRequestSCMRevision<BitbucketGitSCMRevision> revision(RevCommit target, RevCommit pull) {
+        return new PullRequestSCMRevision<>(head, revision(target), revision(pull));
+    }
+
+    private BitbucketGitSCMRevision revision(RevCommit commit) {
+        BitbucketGitSCMRevision revision = mock(BitbucketGitSCMRevision.class);
+        when(revision.getHash()).thenReturn(commit.getName());
+        return revision;
+    }
+
+    private RevCommit commit(String... paths) throws Exception {
+        File workTree = git.getRepository().getWorkTree();
+        for (String path : paths) {
+            File file = new File(workTree, path);
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), String.valueOf(System.nanoTime()).getBytes(StandardCharsets.UTF_8));
+        }
+        git.add().addFilepattern(".").call();
+        return git.commit().setMessage("update " + String.join(", ", paths)).call();
+    }
+
+    private class LocalStrategy extends SkipUnchangedMergeBuildStrategy {
+        LocalStrategy(String includes) {
+            super(includes);
+        }
+
+        @Override
+        protected <T> T withRepository(SCMSource source, PullRequestSCMHead head, TaskListener listener, List<String> commits, RepositoryCallback<T> callback) throws IOException, InterruptedException {
+            return callback.invoke(git.getRepository(), null);
+        }
+    }
+}
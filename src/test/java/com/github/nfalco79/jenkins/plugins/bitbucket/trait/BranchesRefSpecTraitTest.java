@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Falco Nikolas
+ *
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.github.nfalco79.jenkins.plugins.bitbucket.trait;
+
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.transport.RefSpec;
+import org.junit.After;
+import org.junit.Test;
+
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMBuilder;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMRevision;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSource;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
+import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceRequest;
+import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
+import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+
+import hudson.util.FormValidation;
+import jenkins.plugins.git.GitSCMBuilder;
+import jenkins.scm.api.SCMHeadObserver;
+import jenkins.scm.api.trait.SCMHeadFilter;
+
+public class BranchesRefSpecTraitTest {
+
+    @After
+    public void tearDown() {
+        ResolvedBranchesCache.clear();
+    }
+
+    @Test
+    public void verify_that_branch_names_are_added_as_ref_spec() throws Exception {
+        GitSCMBuilder<BitbucketGitSCMBuilder> ctx = buildContext();
+
+        BranchesRefSpecTrait trait = new BranchesRefSpecTrait("master support/1.x");
+        trait.decorateBuilder(ctx);
+
+        Assertions.assertThat(ctx.asRefSpecs()).containsOnly( //
+                new RefSpec("+refs/heads/master:refs/remotes/origin/master"), //
+                new RefSpec("+refs/heads/support/1.x:refs/remotes/origin/support/1.x"));
+    }
+
+    @Test
+    public void verify_that_patterns_resolved_by_indexing_are_added_as_ref_spec() throws Exception {
+        BranchesRefSpecTrait trait = new BranchesRefSpecTrait("master release/*");
+        index(trait, "source-1", //
+                branch("master"), //
+                branch("release/1.x"), //
+                branch("release/2.x"), //
+                branch("feature/xyz"));
+
+        BitbucketGitSCMBuilder builder = buildBitbucketContext("source-1");
+        trait.decorateBuilder(builder);
+
+        verify(builder).withRefSpec("+refs/heads/master:refs/remotes/@{remote}/master");
+        verify(builder).withRefSpec("+refs/heads/release/2.x:refs/remotes/@{remote}/release/2.x");
+        verify(builder, never()).withRefSpec("+refs/heads/release/1.x:refs/remotes/@{remote}/release/1.x");
+    }
+
+    @Test
+    public void verify_that_patterns_are_resolved_per_source() throws Exception {
+        BranchesRefSpecTrait trait = new BranchesRefSpecTrait("master release/*");
+        index(trait, "source-1", branch("release/1.x"));
+        index(trait, "source-2", branch("release/2.x"));
+
+        BitbucketGitSCMBuilder builder = buildBitbucketContext("source-2");
+        trait.decorateBuilder(builder);
+
+        verify(builder).withRefSpec("+refs/heads/master:refs/remotes/@{remote}/master");
+        verify(builder).withRefSpec("+refs/heads/release/2.x:refs/remotes/@{remote}/release/2.x");
+        verify(builder, never()).withRefSpec("+refs/heads/release/1.x:refs/remotes/@{remote}/release/1.x");
+    }
+
+    @Test
+    public void verify_that_patterns_are_skipped_before_indexing() throws Exception {
+        BitbucketGitSCMBuilder builder = buildBitbucketContext("source-1");
+
+        BranchesRefSpecTrait trait = new BranchesRefSpecTrait("master release/*");
+        trait.decorateBuilder(builder);
+
+        verify(builder).withRefSpec("+refs/heads/master:refs/remotes/@{remote}/master");
+        verify(builder, times(1)).withRefSpec(anyString());
+    }
+
+    @Test
+    public void verify_that_branches_are_not_resolved_without_patterns() throws Exception {
+        BitbucketSCMSourceContext ctx = new BitbucketSCMSourceContext(null, SCMHeadObserver.none());
+
+        new BranchesRefSpecTrait("master").decorateContext(ctx);
+
+        Assertions.assertThat(ctx.filters()).isEmpty();
+    }
+
+    @Test
+    public void verify_that_indexing_does_not_exclude_heads() throws Exception {
+        BitbucketSCMSourceContext ctx = new BitbucketSCMSourceContext(null, SCMHeadObserver.none());
+        new BranchesRefSpecTrait("release/*").decorateContext(ctx);
+
+        BitbucketSCMSourceRequest request = buildRequest("source-1", branch("release/1.x"));
+        for (SCMHeadFilter filter : ctx.filters()) {
+            Assertions.assertThat(filter.isExcluded(request, new BranchSCMHead("feature/xyz"))).isFalse();
+        }
+    }
+
+    @Test
+    public void verify_that_unmatched_patterns_are_not_resolved() throws Exception {
+        List<BitbucketBranch> branches = Arrays.asList(branch("develop"));
+
+        Assertions.assertThat(BranchesRefSpecTrait.resolve("master release/*", branches)).isEmpty();
+        Assertions.assertThat(BranchesRefSpecTrait.resolve("master release/*", Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void verify_that_patterns_are_resolved_by_version() throws Exception {
+        List<BitbucketBranch> branches = Arrays.asList( //
+                branch("release/1.9"), //
+                branch("release/1.10"), //
+                branch("release/1.2"));
+
+        Assertions.assertThat(BranchesRefSpecTrait.resolve("release/*", branches)).containsOnly(entry("release/*", "release/1.10"));
+    }
+
+    @Test
+    public void verify_that_ref_spec_is_not_added_twice() throws Exception {
+        GitSCMBuilder<BitbucketGitSCMBuilder> ctx = buildContext();
+
+        new BranchesRefSpecTrait("master").decorateBuilder(ctx);
+        new BranchesRefSpecTrait("master").decorateBuilder(ctx);
+
+        Assertions.assertThat(ctx.refSpecs()).containsOnlyOnce("+refs/heads/master:refs/remotes/@{remote}/master");
+    }
+
+    @Test
+    public void verify_branches_validation() throws Exception {
+        BranchesRefSpecTrait.DescriptorImpl descriptor = new BranchesRefSpecTrait.DescriptorImpl();
+
+        Assertions.assertThat(descriptor.doCheckBranches("master release/*").kind).isEqualTo(FormValidation.Kind.OK);
+        FormValidation validation = descriptor.doCheckBranches("master release..x");
+        Assertions.assertThat(validation.kind).isEqualTo(FormValidation.Kind.ERROR);
+        Assertions.assertThat(validation.getMessage()).isEqualTo(Messages.BranchesRefSpecTrait_invalidBranchPattern("release..x"));
+    }
+
+    private void index(BranchesRefSpecTrait trait, String sourceId, BitbucketBranch... branches) throws Exception {
+        BitbucketSCMSourceContext ctx = new BitbucketSCMSourceContext(null, SCMHeadObserver.none());
+        trait.decorateContext(ctx);
+
+        BitbucketSCMSourceRequest request = buildRequest(sourceId, branches);
+        for (SCMHeadFilter filter : ctx.filters()) {
+            filter.isExcluded(request, new BranchSCMHead("feature/xyz"));
+        }
+    }
+
+    private BitbucketSCMSourceRequest buildRequest(String sourceId, BitbucketBranch... branches) throws Exception {
+        BitbucketSCMSourceRequest request = mock(BitbucketSCMSourceRequest.class);
+        when(request.source()).thenReturn(buildSource(sourceId));
+        when(request.isFetchBranches()).thenReturn(true);
+        doReturn(Arrays.asList(branches)).when(request).getBranches();
+        return request;
+    }
+
+    private GitSCMBuilder<BitbucketGitSCMBuilder> buildContext() {
+        BranchSCMHead head = mock(BranchSCMHead.class);
+        when(head.getName()).thenReturn("feature/xyz");
+        BitbucketGitSCMRevision revision = mock(BitbucketGitSCMRevision.class);
+        return new GitSCMBuilder<>(head, revision, "origin", null);
+    }
+
+    private BitbucketGitSCMBuilder buildBitbucketContext(String sourceId) {
+        BitbucketGitSCMBuilder builder = mock(BitbucketGitSCMBuilder.class);
+        when(builder.scmSource()).thenReturn(buildSource(sourceId));
+        return builder;
+    }
+
+    private BitbucketSCMSource buildSource(String sourceId) {
+        BitbucketSCMSource source = new BitbucketSCMSource("amuniz", "test-repos");
+        source.setId(sourceId);
+        return source;
+    }
+
+    private BitbucketBranch branch(String name) {
+        BitbucketBranch branch = mock(BitbucketBranch.class);
+        when(branch.getName()).thenReturn(name);
+        return branch;
+    }
+
+}
@@ -18,7 +18,9 @@ package com.github.nfalco79.jenkins.plugins.bitbucket.trait;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -26,19 +28,24 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 
 import org.junit.Test;
 
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceContext;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketSCMSourceRequest;
 import com.cloudbees.jenkins.plugins.bitbucket.api.BitbucketBranch;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.ExcludeOldBranchEvent;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.FlightRecorderUtil;
 import com.github.nfalco79.jenkins.plugins.bitbucket.trait.DiscardOldBranchTrait.ExcludeOldSCMHeadBranch;
 
+import jdk.jfr.consumer.RecordedEvent;
 import jenkins.scm.api.SCMHead;
 import jenkins.scm.api.SCMHeadObserver;
 import jenkins.scm.api.trait.SCMHeadFilter;
 
 public class DiscardOldBranchTraitTest {
+
     @Test
     public void verify_that_branch_is_not_excluded_if_has_recent_commits() throws Exception {
         DiscardOldBranchTrait trait = new DiscardOldBranchTrait(10);
@@ -87,4 +94,62 @@ public class DiscardOldBranchTraitTest {
         }
     }
 
+    @Test
+    public void verify_that_flight_recorder_event_is_emitted_when_enabled() throws Exception {
+        DiscardOldBranchTrait trait = new DiscardOldBranchTrait(5);
+        BitbucketSCMSourceContext ctx = new BitbucketSCMSourceContext(null, SCMHeadObserver.none());
+        trait.decorateContext(ctx);
+
+        Calendar c = Calendar.getInstance();
+        c.add(Calendar.DAY_OF_MONTH, -100);
+
+        SCMHead head = mock(SCMHead.class);
+        when(head.getName()).thenReturn("feature/release");
+        BitbucketBranch branch1 = mock(BitbucketBranch.class);
+        when(branch1.getName()).thenReturn("feature/xyz");
+        BitbucketBranch branch2 = mock(BitbucketBranch.class);
+        when(branch2.getName()).thenReturn("feature/release");
+        when(branch2.getDateMillis()).thenReturn(c.getTimeInMillis());
+        BitbucketSCMSourceRequest request = mock(BitbucketSCMSourceRequest.class);
+        when(request.getBranches()).thenReturn(Arrays.asList(branch1, branch2));
+
+        List<RecordedEvent> events = FlightRecorderUtil.record(ExcludeOldBranchEvent.class, true, () -> {
+            for (SCMHeadFilter filter : ctx.filters()) {
+                filter.isExcluded(request, head);
+            }
+        });
+        assertThat(events, hasSize(1));
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("head"), equalTo("feature/release"));
+        assertThat(event.getString("decision"), equalTo("excluded"));
+        assertThat(event.getInt("branchesInspected"), equalTo(2));
+    }
+
+    @Test
+    public void verify_that_flight_recorder_event_is_not_emitted_by_default() throws Exception {
+        DiscardOldBranchTrait trait = new DiscardOldBranchTrait(5);
+        BitbucketSCMSourceContext ctx = new BitbucketSCMSourceContext(null, SCMHeadObserver.none());
+        trait.decorateContext(ctx);
+
+        Calendar c = Calendar.getInstance();
+        c.add(Calendar.DAY_OF_MONTH, -100);
+
+        SCMHead head = mock(SCMHead.class);
+        when(head.getName()).thenReturn("feature/release");
+        BitbucketBranch branch1 = mock(BitbucketBranch.class);
+        when(branch1.getName()).thenReturn("feature/xyz");
+        BitbucketBranch branch2 = mock(BitbucketBranch.class);
+        when(branch2.getName()).thenReturn("feature/release");
+        when(branch2.getDateMillis()).thenReturn(c.getTimeInMillis());
+        BitbucketSCMSourceRequest request = mock(BitbucketSCMSourceRequest.class);
+        when(request.getBranches()).thenReturn(Arrays.asList(branch1, branch2));
+
+        List<RecordedEvent> events = FlightRecorderUtil.record(ExcludeOldBranchEvent.class, false, () -> {
+            for (SCMHeadFilter filter : ctx.filters()) {
+                filter.isExcluded(request, head);
+            }
+        });
+        assertThat(events, empty());
+    }
+
 }
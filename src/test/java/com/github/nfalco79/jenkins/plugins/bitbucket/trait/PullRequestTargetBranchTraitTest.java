@@ -19,6 +19,8 @@ package com.github.nfalco79.jenkins.plugins.bitbucket.trait;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import org.assertj.core.api.Assertions;
 import org.eclipse.jgit.transport.RefSpec;
 import org.junit.Test;
@@ -27,7 +29,10 @@ import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMBuilder;
 import com.cloudbees.jenkins.plugins.bitbucket.BitbucketGitSCMRevision;
 import com.cloudbees.jenkins.plugins.bitbucket.BranchSCMHead;
 import com.cloudbees.jenkins.plugins.bitbucket.PullRequestSCMHead;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.FlightRecorderUtil;
+import com.github.nfalco79.jenkins.plugins.bitbucket.jfr.TargetBranchRefSpecEvent;
 
+import jdk.jfr.consumer.RecordedEvent;
 import jenkins.plugins.git.GitSCMBuilder;
 import jenkins.scm.api.SCMHead;
 
@@ -59,4 +64,35 @@ public class PullRequestTargetBranchTraitTest {
         Assertions.assertThat(ctx.asRefSpecs()).containsOnly(new RefSpec("+refs/heads/*:refs/remotes/origin/*"));
     }
 
+    @Test
+    public void verify_that_flight_recorder_event_is_emitted_when_enabled() throws Exception {
+        PullRequestSCMHead head = mock(PullRequestSCMHead.class);
+        when(head.getName()).thenReturn("PR-1");
+        when(head.getTarget()).thenReturn(new SCMHead("support/1.x"));
+        BitbucketGitSCMRevision revision = mock(BitbucketGitSCMRevision.class);
+        GitSCMBuilder<BitbucketGitSCMBuilder> ctx = new GitSCMBuilder<>(head, revision, "origin", null);
+
+        PullRequestTargetBranchTrait trait = new PullRequestTargetBranchTrait();
+        List<RecordedEvent> events = FlightRecorderUtil.record(TargetBranchRefSpecEvent.class, true, () -> trait.decorateBuilder(ctx));
+
+        Assertions.assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        Assertions.assertThat(event.getString("head")).isEqualTo("PR-1");
+        Assertions.assertThat(event.getString("decision")).isEqualTo("added");
+        Assertions.assertThat(event.getInt("branchesInspected")).isEqualTo(1);
+    }
+
+    @Test
+    public void verify_that_flight_recorder_event_is_not_emitted_by_default() throws Exception {
+        BranchSCMHead head = mock(BranchSCMHead.class);
+        when(head.getName()).thenReturn("support/1.x");
+        BitbucketGitSCMRevision revision = mock(BitbucketGitSCMRevision.class);
+        GitSCMBuilder<BitbucketGitSCMBuilder> ctx = new GitSCMBuilder<>(head, revision, "origin", null);
+
+        PullRequestTargetBranchTrait trait = new PullRequestTargetBranchTrait();
+        List<RecordedEvent> events = FlightRecorderUtil.record(TargetBranchRefSpecEvent.class, false, () -> trait.decorateBuilder(ctx));
+
+        Assertions.assertThat(events).isEmpty();
+    }
+
 }